@@ -6,26 +6,37 @@ import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 
 public class Bullet {
+    public static final double DEFAULT_SPEED = 20.0;
     private double x, y;
+    private double prevX, prevY; // position before the last update, for swept collision
     private final int bulletWidth = 14;
     private final int bulletHeight = 6;
-    private final double speed = 20.0;
+    private final double speed;
     private final double angle;
     private final int damage;
     private final double velX;
     private final double velY;
 
     public Bullet(double startX, double startY, double angle, int damage) {
+        this(startX, startY, angle, damage, DEFAULT_SPEED);
+    }
+
+    public Bullet(double startX, double startY, double angle, int damage, double speed) {
         this.angle = angle;
         this.damage = damage;
+        this.speed = speed;
         double gunTipOffset = 30;
         this.x = startX + Math.cos(angle) * gunTipOffset - bulletWidth / 2.0;
         this.y = startY + Math.sin(angle) * gunTipOffset - bulletHeight / 2.0;
+        this.prevX = x;
+        this.prevY = y;
         this.velX = Math.cos(angle) * speed;
         this.velY = Math.sin(angle) * speed;
     }
 
     public void update() {
+        prevX = x;
+        prevY = y;
         x += velX;
         y += velY;
     }
@@ -43,6 +54,44 @@ public class Bullet {
         return new Rectangle((int)x, (int)y, bulletWidth, bulletHeight);
     }
     
+    // Area covered by the hitbox over the last update, for the broadphase query.
+    public Rectangle getSweptBounds() {
+        int minX = (int)Math.floor(Math.min(prevX, x)), minY = (int)Math.floor(Math.min(prevY, y));
+        int maxX = (int)Math.ceil(Math.max(prevX, x)) + bulletWidth, maxY = (int)Math.ceil(Math.max(prevY, y)) + bulletHeight;
+        return new Rectangle(minX, minY, maxX - minX, maxY - minY);
+    }
+
+    // Slab test of the hitbox moving from its previous to its current position against target: returns the fraction
+    // of the move (0..1) at which they first overlap, or -1 if they never do. Touching edges do not count, as with
+    // Rectangle.intersects.
+    public double sweep(Rectangle target) {
+        double tEnter = 0, tExit = 1;
+        double dx = x - prevX, dy = y - prevY;
+        // The hitbox's top-left corner overlaps target while it is strictly inside these ranges.
+        double minX = target.x - bulletWidth, maxX = target.x + target.width;
+        double minY = target.y - bulletHeight, maxY = target.y + target.height;
+        if (dx == 0) { if (prevX <= minX || prevX >= maxX) return -1; }
+        else {
+            double t1 = (minX - prevX) / dx, t2 = (maxX - prevX) / dx;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) { if (prevY <= minY || prevY >= maxY) return -1; }
+        else {
+            double t1 = (minY - prevY) / dy, t2 = (maxY - prevY) / dy;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        return tEnter < tExit ? tEnter : -1;
+    }
+
+    // Screen area the rotated, antialiased bullet can touch; getBounds is the unrotated hitbox.
+    public Rectangle getDrawBounds() {
+        int reach = (int)Math.ceil(Math.hypot(bulletWidth, bulletHeight) / 2) + 1;
+        int cx = (int)(x + bulletWidth / 2.0), cy = (int)(y + bulletHeight / 2.0);
+        return new Rectangle(cx - reach, cy - reach, reach * 2, reach * 2);
+    }
+
     public int getDamage() {
         return damage;
     }
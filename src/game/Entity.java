@@ -5,6 +5,9 @@ import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.imageio.ImageIO;
 import java.awt.Color;
 
@@ -16,6 +19,10 @@ public abstract class Entity {
     protected BufferedImage image;
     protected int width, height;
     protected double scale = 1.0; 
+    // Decoded sprites shared by every entity using the same path; monsters are spawned in groups, so decode once.
+    private static final Map<String, BufferedImage> imageCache = new ConcurrentHashMap<>();
+    private static final AtomicInteger nextId = new AtomicInteger(1); // shared by worlds on parallel harness threads
+    protected final int id = nextId.getAndIncrement(); // identifies the entity in GameEventBus events
 
     public Entity(double startX, double startY, int health, int maxHealth, double speed) {
         this.x = startX;
@@ -40,28 +47,30 @@ public abstract class Entity {
     }
 
     protected void loadImage(String path, Color fallbackColor) {
+        this.image = imageCache.computeIfAbsent(path, p -> readImage(p, fallbackColor));
+        this.width = (int) (this.image.getWidth() * this.scale);
+        this.height = (int) (this.image.getHeight() * this.scale);
+    }
+
+    private BufferedImage readImage(String path, Color fallbackColor) {
         try {
             InputStream is = getClass().getResourceAsStream(path);
             if (is == null) throw new IOException("Resource not found: " + path);
-            this.image = ImageIO.read(is);
-            if (this.image != null) {
-                this.width = (int) (this.image.getWidth() * this.scale);
-                this.height = (int) (this.image.getHeight() * this.scale);
-            } else {
-                 throw new IOException("ImageIO.read returned null for path: " + path);
-            }
+            BufferedImage loaded = ImageIO.read(is);
+            if (loaded == null) throw new IOException("ImageIO.read returned null for path: " + path);
+            return loaded;
         } catch (Exception e) {
             System.err.println("Failed to load image: " + path + " | Cause: " + e.getMessage());
-            this.width = (int) (32 * this.scale); 
-            this.height = (int) (32 * this.scale);
-            this.image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
-            Graphics2D g = this.image.createGraphics();
+            BufferedImage fallback = new BufferedImage(32, 32, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = fallback.createGraphics();
             g.setColor(fallbackColor != null ? fallbackColor : Color.WHITE);
-            g.fillRect(0, 0, width, height);
+            g.fillRect(0, 0, 32, 32);
             g.dispose();
+            return fallback;
         }
     }
 
+    public int getId() { return id; }
     public int getX() { return (int)x; }
     public int getY() { return (int)y; }
     public int getWidth() { return width; }
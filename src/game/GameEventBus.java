@@ -0,0 +1,98 @@
+package src.game;
+
+import java.util.Arrays;
+
+// Fixed-size ring buffer of gameplay events. The simulation publishes during a tick and dispatch() hands the batch to
+// every listener afterwards. Events are stored as parallel primitive arrays, so publishing never allocates. When the
+// buffer is full new events are dropped and counted, so listeners are observers (HUD, stats); GameWorld applies the
+// game rules itself before publishing. Not thread-safe: publish and dispatch from the thread that drives the GameWorld.
+public class GameEventBus {
+
+    // Event types. entityId is the subject (the monster, or the player for player events); amount depends on the type.
+    public static final int MONSTER_HIT = 0;     // amount = damage dealt
+    public static final int MONSTER_KILLED = 1;  // amount = 1 if mysterious, else 0
+    public static final int BOSS_KILLED = 2;
+    public static final int PLAYER_HIT = 3;      // entityId = monster, amount = contact damage dealt
+    public static final int CHEST_OPENED = 4;
+    public static final int WEAPON_CHOSEN = 5;   // amount = Player.WeaponType ordinal
+    public static final int UPGRADE_CHOSEN = 6;  // amount = skill card, 0 = max HP, 1 = damage, 2 = mastery
+    public static final int WAVE_STARTED = 7;    // amount = wave number
+    public static final int TYPE_COUNT = 8;
+
+    public interface Listener {
+        void onEvent(int type, int entityId, int amount, float x, float y);
+    }
+
+    private final int[] types, entityIds, amounts;
+    private final float[] xs, ys;
+    private final int mask;
+    private int head, size;
+    private Listener[] listeners = new Listener[0];
+    private long published, dropped;
+    private final long[] droppedByType = new long[TYPE_COUNT];
+    private int highWaterMark;
+
+    // capacity is rounded up to a power of two so the ring index is a mask instead of a modulo.
+    public GameEventBus(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) size <<= 1;
+        types = new int[size];
+        entityIds = new int[size];
+        amounts = new int[size];
+        xs = new float[size];
+        ys = new float[size];
+        mask = size - 1;
+    }
+
+    // Listeners run in subscription order for every event.
+    public void subscribe(Listener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    // Returns false if the buffer was full and the event was dropped.
+    public boolean publish(int type, int entityId, int amount, double x, double y) {
+        if (size == types.length) {
+            dropped++;
+            droppedByType[type]++;
+            return false;
+        }
+        int slot = (head + size) & mask;
+        types[slot] = type;
+        entityIds[slot] = entityId;
+        amounts[slot] = amount;
+        xs[slot] = (float)x;
+        ys[slot] = (float)y;
+        size++;
+        published++;
+        if (size > highWaterMark) highWaterMark = size;
+        return true;
+    }
+
+    // Delivers every queued event in publish order, then empties the buffer. Events published by a listener during
+    // dispatch are delivered in the same pass.
+    public void dispatch() {
+        while (size > 0) {
+            // Copy out before freeing the slot, since a listener may publish into it.
+            int type = types[head], entityId = entityIds[head], amount = amounts[head];
+            float x = xs[head], y = ys[head];
+            head = (head + 1) & mask;
+            size--;
+            for (Listener listener : listeners) listener.onEvent(type, entityId, amount, x, y);
+        }
+    }
+
+    public void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    // --- Getters ---
+    public int getCapacity() { return types.length; }
+    public int getPending() { return size; }
+    public int getHighWaterMark() { return highWaterMark; }
+    public long getPublished() { return published; }
+    public long getDropped() { return dropped; }
+    public long getDropped(int type) { return droppedByType[type]; }
+}
@@ -10,29 +10,23 @@ import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.List;
-import java.util.Random;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMotionListener, MouseListener {
 
-    public static final int WIDTH = 950;
-    public static final int HEIGHT = 750;
-    private final int FPS = 60;
-    private enum GameState { START_MENU, PLAYING, GAME_OVER, WAVE_COMPLETED, CHEST_OPEN }
-    private GameState gameState;
+    public static final int WIDTH = GameWorld.WIDTH;
+    public static final int HEIGHT = GameWorld.HEIGHT;
+    public static final int FPS = GameWorld.FPS;
+    private final GameWorld world = new GameWorld();
     private Thread gameThread;
-    private Player player;
-    private final List<Bullet> bullets = new ArrayList<>();
-    private final List<Monster> monsters = new ArrayList<>(); 
-    private final Random rand = new Random();
     private Rectangle startButtonBounds;
-    private int wave = 1;
-    private long waveStartTime;
-    private final long bossSpawnInterval = 45000;
-    private boolean bossSpawnedThisWave = false;
-    private long lastSpawnTime;
-    private final long spawnCooldown = 2000;
     
     private BufferedImage hpCardImg, pistolDamageCardImg, pistolMasterCardImg,
                           rifleDamageCardImg, rifleMasterCardImg,
@@ -42,17 +36,35 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
     private Rectangle hpCardBounds, damageCardBounds, masterCardBounds, confirmButtonBounds;
     private int selectedSkillCard = -1;
 
-    private Chest droppedChest = null;
-    private boolean chestDroppedThisWave = false;
     private BufferedImage pistolCardImg, rifleCardImg, shotgunCardImg;
     private Rectangle pistolCardBounds, rifleCardBounds, shotgunCardBounds;
 
+    // Input arrives on the Swing thread; anything that changes the world is recorded here and applied by the game
+    // thread just before its next update(), so the world is only ever driven from one thread.
+    private final AtomicBoolean resetRequested = new AtomicBoolean(), fireRequested = new AtomicBoolean();
+    private final AtomicBoolean reloadRequested = new AtomicBoolean(), endlessToggleRequested = new AtomicBoolean();
+    private final AtomicInteger requestedSkillCard = new AtomicInteger(-1);
+    private final AtomicReference<Player.WeaponType> requestedWeapon = new AtomicReference<>();
+
+    // Rendering: the tiled background is drawn once into backgroundCache. In dirty-rect mode (F3 while playing) the
+    // playfield is kept in frameBuffer and only regions whose sprites moved are redrawn each frame.
+    private static final Rectangle SCREEN = new Rectangle(0, 0, WIDTH, HEIGHT);
+    private static final Rectangle WAVE_HUD = new Rectangle(0, 0, 400, 90);
+    private static final Rectangle BOSS_HUD = new Rectangle(WIDTH - 300, 0, 300, 45);
+    private static final Rectangle BOTTOM_HUD = new Rectangle(0, HEIGHT - 80, 400, 80);
+    private static final int MAX_DIRTY_RECTS = 64;       // more than this and a full redraw is cheaper
+    private static final double MAX_DIRTY_COVERAGE = 0.6; // same, by share of the screen
+    private BufferedImage backgroundCache;
+    private BufferedImage frameBuffer;
+    private boolean dirtyRectMode = false;
+    private boolean frameBufferValid = false;
+    private Map<Object, Rectangle> previousSpriteRects = new IdentityHashMap<>();
+    private long pixelsRedrawn;
+
     public GamePanel() {
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setFocusable(true); requestFocus();
         addKeyListener(this); addMouseMotionListener(this); addMouseListener(this);
-        gameState = GameState.START_MENU;
-        player = new Player(WIDTH / 2, HEIGHT / 2);
         loadUIImages();
         startGameLoop();
     }
@@ -92,6 +104,23 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
             shotgunCardBounds = new Rectangle(masterCardBounds);
 
         } catch (Exception e) { e.printStackTrace(); }
+        buildBackgroundCache();
+    }
+
+    private void buildBackgroundCache() {
+        backgroundCache = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = backgroundCache.createGraphics();
+        if (backgroundImage != null) {
+            for (int y = 0; y < HEIGHT; y += 64) {
+                for (int x = 0; x < WIDTH; x += 64) {
+                    g.drawImage(backgroundImage, x, y, 64, 64, null);
+                }
+            }
+        } else {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+        }
+        g.dispose();
     }
 
     private void startGameLoop() { gameThread = new Thread(this); gameThread.start(); }
@@ -101,7 +130,7 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
         long targetTime = 1000 / FPS;
         while (gameThread != null) {
             long startTimeLoop = System.nanoTime();
-            updateGame();
+            synchronized (world) { applyInput(); world.update(); }
             repaint();
             long timeMillis = (System.nanoTime() - startTimeLoop) / 1_000_000;
             long waitTime = targetTime - timeMillis;
@@ -109,176 +138,190 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
         }
     }
 
-    private void updateGame() {
-        if (gameState == GameState.PLAYING) {
-            player.update();
-            if (player.getHealth() <= 0) { gameState = GameState.GAME_OVER; player.resetMovementFlags(); return; }
-            
-            if (droppedChest != null && player.getBounds().intersects(droppedChest.getBounds())) {
-                gameState = GameState.CHEST_OPEN;
-                player.resetMovementFlags();
-                droppedChest = null;
-                return;
-            }
-
-            long timeInWave = System.currentTimeMillis() - waveStartTime;
-            if (timeInWave > bossSpawnInterval && !bossSpawnedThisWave) { spawnBoss(); }
-            if (System.currentTimeMillis() - lastSpawnTime > spawnCooldown) { spawnMonster(); lastSpawnTime = System.currentTimeMillis(); }
-            
-            for (Bullet b : bullets) b.update();
-            for (Monster m : monsters) m.update();
-            checkCollisions();
-            bullets.removeIf(b -> !getBounds().contains(b.getBounds()));
-        }
-    }
-
-    //moster 1 & 2
-    private void spawnMonster() {
-        if (wave >= 3 && rand.nextInt(100) < 10) { spawnMysterious(); return; }
-        double healthMultiplier = Math.pow(1.15, wave - 1);
-        int m1Health = (int)(20 * healthMultiplier), m2Health = (int)(10 * healthMultiplier);
-        int spawnSide = rand.nextInt(4); double x = 0, y = 0;
-        switch (spawnSide) { case 0: x = rand.nextInt(WIDTH); y = -64; break; case 1: x = WIDTH; y = rand.nextInt(HEIGHT); break; case 2: x = rand.nextInt(WIDTH); y = HEIGHT; break; case 3: x = -64; y = rand.nextInt(HEIGHT); break; }
-        if (rand.nextBoolean()) { monsters.add(new Monster(x, y, m1Health, 3.0, "/res/images/Monster1.png", false, false, player)); } 
-        else { monsters.add(new Monster(x, y, m2Health, 6.0, "/res/images/Monster2.png", false, false, player)); }
-    }
-    //Mysterious
-    private void spawnMysterious() {
-        int health = 20, spawnSide = rand.nextInt(4); double speed = 8.0, x = 0, y = 0;
-        switch (spawnSide) { case 0: x = rand.nextInt(WIDTH); y = -64; break; case 1: x = WIDTH; y = rand.nextInt(HEIGHT); break; case 2: x = rand.nextInt(WIDTH); y = HEIGHT; break; case 3: x = -64; y = rand.nextInt(HEIGHT); break; }
-        monsters.add(new Monster(x, y, health, speed, "/res/images/Mysterious.png", false, true, player));
-    }
-    //The Boss
-    private void spawnBoss() {
-        int bossHealth = (int)(100 * Math.pow(1.15, wave - 1));
-        monsters.add(new Monster(WIDTH / 2.0, -100, bossHealth, 2.75, "/res/images/boss.png", true, false, player));
-        bossSpawnedThisWave = true;
+    private void applyInput() {
+        if (endlessToggleRequested.getAndSet(false)) world.setEndlessMode(!world.isEndlessMode());
+        if (resetRequested.getAndSet(false)) world.resetGame();
+        int card = requestedSkillCard.getAndSet(-1);
+        if (card != -1) world.applySkillCard(card);
+        Player.WeaponType weapon = requestedWeapon.getAndSet(null);
+        if (weapon != null) world.chooseWeapon(weapon);
+        if (reloadRequested.getAndSet(false)) world.getPlayer().startReload();
+        if (fireRequested.getAndSet(false)) world.fire();
     }
 
-    private void checkCollisions() {
-        boolean bossIsDead = false;
-        Iterator<Bullet> bulletIter = bullets.iterator();
-        while (bulletIter.hasNext()) {
-            Bullet bullet = bulletIter.next();
-            for (Monster monster : monsters) {
-                if (monster.getHealth() > 0 && bullet.getBounds().intersects(monster.getBounds())) {
-                    monster.takeDamage(bullet.getDamage());
-                    bulletIter.remove();
-                    break;
-                }
-            }
-        }
-        Iterator<Monster> monsterIter = monsters.iterator();
-        while (monsterIter.hasNext()) {
-            Monster monster = monsterIter.next();
-            if (player.getBounds().intersects(monster.getBounds())) {
-                if (monster.isBoss()) { player.takeDamage(player.getMaxHealth() * 2); } 
-                else if (monster.isMysterious()) { player.takeDamage((int)(player.getMaxHealth() * 0.25)); } 
-                else { player.takeDamage(10); }
-                monsterIter.remove();
-                continue;
-            }
-            if (monster.getHealth() <= 0) {
-                if (monster.isBoss()) bossIsDead = true;
-                if (!chestDroppedThisWave) {
-                    if (rand.nextInt(100) < 100) {
-                        droppedChest = new Chest(monster.getX(), monster.getY());
-                        chestDroppedThisWave = true;
-                    }
-                }
-                monsterIter.remove();
-            }
-        }
-        if (bossIsDead) { gameState = GameState.WAVE_COMPLETED; player.resetMovementFlags(); }
-    }
-
-    private void startNextWave() {
-        wave++;
-        waveStartTime = System.currentTimeMillis();
-        bossSpawnedThisWave = false;
-        bullets.clear();
-        monsters.clear();
-        selectedSkillCard = -1;
-        chestDroppedThisWave = false;
-        gameState = GameState.PLAYING;
-    }
-
-    private void resetGame() {
-        player = new Player(WIDTH / 2, HEIGHT / 2);
-        monsters.clear();
-        bullets.clear();
-        wave = 1;
-        bossSpawnedThisWave = false;
-        selectedSkillCard = -1;
-        chestDroppedThisWave = false;
-        gameState = GameState.PLAYING;
-        waveStartTime = System.currentTimeMillis();
-        lastSpawnTime = waveStartTime;
-    }
-    
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        // update() runs on the game thread; hold it off so the whole frame sees one consistent world.
+        synchronized (world) { paintWorld(g); }
+    }
+
+    private void paintWorld(Graphics g) {
+        GameWorld.GameState gameState = world.getGameState();
+        if (gameState == GameWorld.GameState.PLAYING && dirtyRectMode) {
+            paintDirtyRegions();
+            g.drawImage(frameBuffer, 0, 0, null);
+            return;
+        }
+        frameBufferValid = false;
+        pixelsRedrawn = (long)WIDTH * HEIGHT;
         Graphics2D g2d = (Graphics2D) g.create();
         g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        
-        if (backgroundImage != null) {
-            for (int y = 0; y < HEIGHT; y += 64) {
-                for (int x = 0; x < WIDTH; x += 64) {
-                    g2d.drawImage(backgroundImage, x, y, 64, 64, null);
-                }
-            }
-        } else {
-            g2d.setColor(Color.BLACK);
-            g2d.fillRect(0, 0, WIDTH, HEIGHT);
-        }
+        g2d.drawImage(backgroundCache, 0, 0, null);
 
-        if (gameState == GameState.START_MENU || gameState == GameState.GAME_OVER) {
-            if (gameState == GameState.START_MENU) {
+        if (gameState == GameWorld.GameState.START_MENU || gameState == GameWorld.GameState.GAME_OVER) {
+            if (gameState == GameWorld.GameState.START_MENU) {
                 g2d.setColor(Color.WHITE);
                 g2d.setFont(new Font("Consolas", Font.BOLD, 72));
                 String title = "Escape the Death";
                 FontMetrics fm = g2d.getFontMetrics();
                 g2d.drawString(title, (WIDTH - fm.stringWidth(title)) / 2, HEIGHT / 2 - 100);
             }
-            drawButton(g2d, startButtonBounds, gameState == GameState.START_MENU ? "START" : "RESTART");
-            if (gameState == GameState.GAME_OVER) {
+            drawButton(g2d, startButtonBounds, gameState == GameWorld.GameState.START_MENU ? "START" : "RESTART");
+            g2d.setColor(Color.WHITE); g2d.setFont(new Font("Consolas", Font.BOLD, 20));
+            String modeText = "Mode: " + (world.isEndlessMode() ? "Endless" : "Classic") + "  (E to switch)";
+            g2d.drawString(modeText, (WIDTH - g2d.getFontMetrics().stringWidth(modeText)) / 2, startButtonBounds.y + startButtonBounds.height + 35);
+            if (gameState == GameWorld.GameState.GAME_OVER) {
                 g2d.setColor(Color.RED); g2d.setFont(new Font("Consolas", Font.BOLD, 72));
                 String msg = "GAME OVER"; int w = g2d.getFontMetrics().stringWidth(msg);
                 g2d.drawString(msg, (WIDTH - w) / 2, HEIGHT / 2 - 100);
                 g2d.setColor(Color.WHITE); g2d.setFont(new Font("Consolas", Font.BOLD, 36));
-                String waveMsg = "You reached wave " + wave; w = g2d.getFontMetrics().stringWidth(waveMsg);
+                String waveMsg = "You reached wave " + world.getWave(); w = g2d.getFontMetrics().stringWidth(waveMsg);
                 g2d.drawString(waveMsg, (WIDTH - w) / 2, HEIGHT / 2 - 50);
             }
-        } else if (gameState == GameState.PLAYING) {
-            if (droppedChest != null) droppedChest.draw(g2d);
-            for (Monster m : monsters) m.draw(g2d); 
-            if (player.image != null) player.draw(g2d); 
-            if (player.equippedWeaponImage != null) {
-                AffineTransform old = g2d.getTransform();
-                g2d.translate(player.getX() + player.getWidth() / 2.0, player.getY() + player.getHeight() / 2.0);
-                g2d.rotate(player.gunAngle);
-                int gunW = (int)player.getGunWidth(), gunH = (int)player.getGunHeight();
-                if (player.isGunFlipped) { g2d.drawImage(player.equippedWeaponImage, 0, gunH / 2, gunW, -gunH, null); }
-                else { g2d.drawImage(player.equippedWeaponImage, 0, -gunH / 2, gunW, gunH, null); }
-                g2d.setTransform(old);
-            }
-            for (Bullet b : bullets) b.draw(g2d);
-            drawHealthUI(g2d); drawWaveUI(g2d); drawAmmoUI(g2d);
-        } else if (gameState == GameState.WAVE_COMPLETED) {
+        } else if (gameState == GameWorld.GameState.PLAYING) {
+            drawPlayfield(g2d);
+        } else if (gameState == GameWorld.GameState.WAVE_COMPLETED) {
             drawSkillCardScreen(g2d);
-        } else if (gameState == GameState.CHEST_OPEN) {
+        } else if (gameState == GameWorld.GameState.CHEST_OPEN) {
             drawWeaponChoiceScreen(g2d);
         }
         g2d.dispose();
     }
-    
+
+    // Draws entities and HUD, skipping anything outside the clip: off-screen spawns, stray pellets, and in dirty-rect
+    // mode everything outside the region being repaired.
+    private void drawPlayfield(Graphics2D g2d) {
+        Player player = world.getPlayer();
+        Rectangle clip = g2d.getClipBounds();
+        Rectangle view = clip != null ? clip.intersection(SCREEN) : SCREEN;
+        Chest chest = world.getDroppedChest();
+        if (chest != null && view.intersects(chest.getBounds())) chest.draw(g2d);
+        for (Monster m : world.getMonsters()) if (view.intersects(m.getBounds())) m.draw(g2d);
+        if (view.intersects(playerDrawBounds(player))) drawPlayer(g2d, player);
+        for (Bullet b : world.getBullets()) if (view.intersects(b.getDrawBounds())) b.draw(g2d);
+        drawHud(g2d, view);
+    }
+
+    private void drawPlayer(Graphics2D g2d, Player player) {
+        if (player.image != null) player.draw(g2d);
+        if (player.equippedWeaponImage != null) {
+            AffineTransform old = g2d.getTransform();
+            g2d.translate(player.getX() + player.getWidth() / 2.0, player.getY() + player.getHeight() / 2.0);
+            g2d.rotate(player.gunAngle);
+            int gunW = (int)player.getGunWidth(), gunH = (int)player.getGunHeight();
+            if (player.isGunFlipped) { g2d.drawImage(player.equippedWeaponImage, 0, gunH / 2, gunW, -gunH, null); }
+            else { g2d.drawImage(player.equippedWeaponImage, 0, -gunH / 2, gunW, gunH, null); }
+            g2d.setTransform(old);
+        }
+    }
+
+    private void drawSprite(Graphics2D g2d, Object sprite) {
+        if (sprite instanceof Player) drawPlayer(g2d, (Player)sprite);
+        else if (sprite instanceof Bullet) ((Bullet)sprite).draw(g2d);
+        else if (sprite instanceof Chest) ((Chest)sprite).draw(g2d);
+        else ((Entity)sprite).draw(g2d);
+    }
+
+    private void drawHud(Graphics2D g2d, Rectangle view) {
+        if (view.intersects(BOTTOM_HUD)) { drawHealthUI(g2d); drawAmmoUI(g2d); }
+        if (view.intersects(WAVE_HUD) || view.intersects(BOSS_HUD)) drawWaveUI(g2d);
+    }
+
+    // Player sprite plus the gun, which rotates around the sprite centre.
+    private Rectangle playerDrawBounds(Player player) {
+        int cx = player.getX() + player.getWidth() / 2, cy = player.getY() + player.getHeight() / 2;
+        int reach = (int)Math.ceil(Math.max(Math.max(player.getWidth(), player.getHeight()) / 2.0, player.getGunWidth() + player.getGunHeight() / 2)) + 2;
+        return new Rectangle(cx - reach, cy - reach, reach * 2, reach * 2);
+    }
+
+    // Repaints frameBuffer only where a sprite was last frame or is now, plus the HUD; falls back to a full redraw
+    // after a state change or when the dirty set gets too large to be worth it.
+    private void paintDirtyRegions() {
+        if (frameBuffer == null) frameBuffer = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        // Bounds are taken once per frame, in draw order; each region below draws only the sprites overlapping it.
+        List<Object> sprites = new ArrayList<>();
+        List<Rectangle> spriteRects = new ArrayList<>();
+        Chest chest = world.getDroppedChest();
+        if (chest != null) { sprites.add(chest); spriteRects.add(chest.getBounds()); }
+        for (Monster m : world.getMonsters()) { sprites.add(m); spriteRects.add(m.getBounds()); }
+        sprites.add(world.getPlayer()); spriteRects.add(playerDrawBounds(world.getPlayer()));
+        for (Bullet b : world.getBullets()) { sprites.add(b); spriteRects.add(b.getDrawBounds()); }
+        Map<Object, Rectangle> currentSpriteRects = new IdentityHashMap<>();
+        for (int i = 0; i < sprites.size(); i++) currentSpriteRects.put(sprites.get(i), spriteRects.get(i));
+
+        List<Rectangle> dirty = frameBufferValid ? collectDirtyRects(previousSpriteRects, currentSpriteRects) : null;
+        Graphics2D fb = frameBuffer.createGraphics();
+        fb.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        if (dirty == null) {
+            pixelsRedrawn = (long)WIDTH * HEIGHT;
+            dirty = Collections.singletonList(SCREEN);
+        } else {
+            // Totalled up front: the HUD showing the count is drawn inside the regions below.
+            pixelsRedrawn = 0;
+            for (Rectangle r : dirty) pixelsRedrawn += (long)r.width * r.height;
+        }
+        for (Rectangle r : dirty) {
+            fb.setClip(r);
+            fb.drawImage(backgroundCache, 0, 0, null);
+            for (int i = 0; i < sprites.size(); i++) if (r.intersects(spriteRects.get(i))) drawSprite(fb, sprites.get(i));
+            drawHud(fb, r);
+        }
+        fb.dispose();
+        previousSpriteRects = currentSpriteRects;
+        frameBufferValid = true;
+    }
+
+    // Returns merged, non-overlapping regions to repaint, or null when a full redraw would be cheaper.
+    private List<Rectangle> collectDirtyRects(Map<Object, Rectangle> previous, Map<Object, Rectangle> current) {
+        List<Rectangle> raw = new ArrayList<>();
+        raw.add(WAVE_HUD);
+        raw.add(BOSS_HUD);
+        raw.add(BOTTOM_HUD);
+        for (Map.Entry<Object, Rectangle> e : previous.entrySet()) {
+            Rectangle now = current.get(e.getKey());
+            // The player's gun turns without the rectangle moving, so the player is always repainted.
+            if (now == null || !now.equals(e.getValue()) || e.getKey() instanceof Player) { raw.add(e.getValue()); if (now != null) raw.add(now); }
+        }
+        for (Map.Entry<Object, Rectangle> e : current.entrySet()) if (!previous.containsKey(e.getKey())) raw.add(e.getValue());
+        if (raw.size() > MAX_DIRTY_RECTS * 4) return null;
+
+        List<Rectangle> merged = new ArrayList<>();
+        for (Rectangle r : raw) {
+            Rectangle acc = r.intersection(SCREEN);
+            if (acc.isEmpty()) continue;
+            boolean grew = true;
+            while (grew) {
+                grew = false;
+                for (Iterator<Rectangle> it = merged.iterator(); it.hasNext();) {
+                    Rectangle m = it.next();
+                    if (m.intersects(acc)) { acc.add(m); it.remove(); grew = true; }
+                }
+            }
+            merged.add(acc);
+        }
+        long area = 0;
+        for (Rectangle r : merged) area += (long)r.width * r.height;
+        if (merged.size() > MAX_DIRTY_RECTS || area > (long)(WIDTH * HEIGHT * MAX_DIRTY_COVERAGE)) return null;
+        return merged;
+    }
+
     private void drawSkillCardScreen(Graphics2D g2d) {
         g2d.setColor(Color.WHITE); g2d.setFont(new Font("Consolas", Font.BOLD, 48));
         String title = "Choose Your Upgrade!"; int w = g2d.getFontMetrics().stringWidth(title);
         g2d.drawString(title, (WIDTH - w) / 2, 100);
         if (hpCardImg != null) g2d.drawImage(hpCardImg, hpCardBounds.x, hpCardBounds.y, null);
-        switch(player.getCurrentWeapon()) {
+        switch(world.getPlayer().getCurrentWeapon()) {
             case PISTOL:
                 if (pistolDamageCardImg != null) g2d.drawImage(pistolDamageCardImg, damageCardBounds.x, damageCardBounds.y, null);
                 if (pistolMasterCardImg != null) g2d.drawImage(pistolMasterCardImg, masterCardBounds.x, masterCardBounds.y, null);
@@ -313,23 +356,26 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
     private void drawWaveUI(Graphics2D g2d) {
         g2d.setColor(Color.WHITE);
         g2d.setFont(new Font("Consolas", Font.BOLD, 24));
-        String waveText = "Wave: " + wave; g2d.drawString(waveText, 15, 30);
-        long timeInWave = System.currentTimeMillis() - waveStartTime;
-        long timeToBoss = (bossSpawnInterval - timeInWave) / 1000;
+        String waveText = "Wave: " + world.getWave() + "  Kills: " + world.getStats().getKills(); g2d.drawString(waveText, 15, 30);
+        if (world.isEndlessMode()) { g2d.setFont(new Font("Consolas", Font.BOLD, 18)); g2d.drawString("Endless - Monsters: " + world.getMonsters().size(), 15, 55); g2d.setFont(new Font("Consolas", Font.BOLD, 24)); }
+        if (dirtyRectMode) { g2d.setFont(new Font("Consolas", Font.BOLD, 18)); g2d.drawString(String.format("Redrawn: %d px (%.0f%%)", pixelsRedrawn, 100.0 * pixelsRedrawn / (WIDTH * HEIGHT)), 15, 80); g2d.setFont(new Font("Consolas", Font.BOLD, 24)); }
+        long timeToBoss = world.getTimeToBoss() / 1000;
         String bossText;
-        if (bossSpawnedThisWave) { g2d.setColor(Color.RED); bossText = "BOSS SPAWNED!"; } 
+        if (world.isBossSpawnedThisWave()) { g2d.setColor(Color.RED); bossText = "BOSS SPAWNED!"; } 
         else { g2d.setColor(Color.ORANGE); bossText = "Boss in: " + (timeToBoss > 0 ? timeToBoss : 0); }
         int w = g2d.getFontMetrics().stringWidth(bossText);
         g2d.drawString(bossText, WIDTH - w - 15, 30);
     }
 
     private void drawHealthUI(Graphics2D g2d) {
+        Player player = world.getPlayer();
         g2d.setFont(new Font("Consolas", Font.BOLD, 24)); g2d.setColor(Color.RED);
         String healthText = "HP: " + player.getHealth() + " / " + player.getMaxHealth();
         g2d.drawString(healthText, 15, HEIGHT - 20);
     }
 
     private void drawAmmoUI(Graphics2D g2d) {
+        Player player = world.getPlayer();
         g2d.setFont(new Font("Consolas", Font.BOLD, 24));
         if (player.isReloading()) { g2d.setColor(Color.RED); g2d.drawString("RELOADING...", 15, HEIGHT - 50); } 
         else { g2d.setColor(Color.WHITE); String ammoText = "Ammo: " + player.getCurrentAmmo() + " / " + player.getMaxAmmo(); g2d.drawString(ammoText, 15, HEIGHT - 50); }
@@ -347,57 +393,31 @@ public class GamePanel extends JPanel implements Runnable, KeyListener, MouseMot
 
     @Override
     public void mousePressed(MouseEvent e) {
-        if (gameState == GameState.START_MENU || gameState == GameState.GAME_OVER) {
-            if (startButtonBounds != null && startButtonBounds.contains(e.getPoint())) { resetGame(); }
-        } else if (gameState == GameState.PLAYING) {
-            if (player.attack()) {
-                double baseX = player.getX() + player.getWidth() / 2.0;
-                double baseY = player.getY() + player.getHeight() / 2.0;
-                double baseAngle = player.gunAngle;
-                int damage = player.getBulletDamage();
-
-                if (player.getCurrentWeapon() == Player.WeaponType.SHOTGUN) {
-                    for (int i = 0; i < 8; i++) {
-                        double spread = Math.toRadians((rand.nextDouble() - 0.5) * 20);
-                        bullets.add(new Bullet(baseX, baseY, baseAngle + spread, damage));
-                    }
-                } else {
-                    bullets.add(new Bullet(baseX, baseY, baseAngle, damage));
-                }
-            }
-        } else if (gameState == GameState.WAVE_COMPLETED) {
+        GameWorld.GameState gameState = world.getGameState();
+        if (gameState == GameWorld.GameState.START_MENU || gameState == GameWorld.GameState.GAME_OVER) {
+            if (startButtonBounds != null && startButtonBounds.contains(e.getPoint())) { selectedSkillCard = -1; resetRequested.set(true); }
+        } else if (gameState == GameWorld.GameState.PLAYING) {
+            fireRequested.set(true);
+        } else if (gameState == GameWorld.GameState.WAVE_COMPLETED) {
             if (hpCardBounds.contains(e.getPoint())) { selectedSkillCard = 0; }
             else if (damageCardBounds.contains(e.getPoint())) { selectedSkillCard = 1; }
             else if (masterCardBounds.contains(e.getPoint())) { selectedSkillCard = 2; }
             if (selectedSkillCard != -1 && confirmButtonBounds.contains(e.getPoint())) {
-                int healAmount = (int)(player.getMaxHealth() * 0.40);
-                switch (selectedSkillCard) {
-                    case 0: 
-                        player.increaseMaxHealth(10); 
-                        break;
-                    case 1: 
-                        player.upgradeDamage(); 
-                        break;
-                    case 2: 
-                        player.upgradeMastery(); 
-                        break;
-                }
-                player.heal(healAmount);
-                player.switchWeapon(player.getCurrentWeapon()); 
-                startNextWave();
+                requestedSkillCard.set(selectedSkillCard);
+                selectedSkillCard = -1;
             }
-        } else if (gameState == GameState.CHEST_OPEN) {
-            if (pistolCardBounds.contains(e.getPoint())) { player.switchWeapon(Player.WeaponType.PISTOL); gameState = GameState.PLAYING; } 
-            else if (rifleCardBounds.contains(e.getPoint())) { player.switchWeapon(Player.WeaponType.RIFLE); gameState = GameState.PLAYING; }
-            else if (shotgunCardBounds.contains(e.getPoint())) { player.switchWeapon(Player.WeaponType.SHOTGUN); gameState = GameState.PLAYING; }
+        } else if (gameState == GameWorld.GameState.CHEST_OPEN) {
+            if (pistolCardBounds.contains(e.getPoint())) { requestedWeapon.set(Player.WeaponType.PISTOL); } 
+            else if (rifleCardBounds.contains(e.getPoint())) { requestedWeapon.set(Player.WeaponType.RIFLE); }
+            else if (shotgunCardBounds.contains(e.getPoint())) { requestedWeapon.set(Player.WeaponType.SHOTGUN); }
         }
     }
     
     @Override public void keyTyped(KeyEvent e) {}
-    @Override public void keyPressed(KeyEvent e) { if (gameState != GameState.PLAYING) return; int c = e.getKeyCode(); if (c == KeyEvent.VK_W) player.movingUp = true; if (c == KeyEvent.VK_S) player.movingDown = true; if (c == KeyEvent.VK_A) player.movingLeft = true; if (c == KeyEvent.VK_D) player.movingRight = true; if (c == KeyEvent.VK_R) player.startReload(); }
-    @Override public void keyReleased(KeyEvent e) { if (gameState != GameState.PLAYING) return; int c = e.getKeyCode(); if (c == KeyEvent.VK_W) player.movingUp = false; if (c == KeyEvent.VK_S) player.movingDown = false; if (c == KeyEvent.VK_A) player.movingLeft = false; if (c == KeyEvent.VK_D) player.movingRight = false; }
-    @Override public void mouseMoved(MouseEvent e) { if (gameState == GameState.PLAYING) player.updateGunAngle(e.getX(), e.getY()); }
-    @Override public void mouseDragged(MouseEvent e) { if (gameState == GameState.PLAYING) player.updateGunAngle(e.getX(), e.getY()); }
+    @Override public void keyPressed(KeyEvent e) { if ((world.getGameState() == GameWorld.GameState.START_MENU || world.getGameState() == GameWorld.GameState.GAME_OVER) && e.getKeyCode() == KeyEvent.VK_E) endlessToggleRequested.set(true); if (world.getGameState() != GameWorld.GameState.PLAYING) return; Player player = world.getPlayer(); int c = e.getKeyCode(); if (c == KeyEvent.VK_W) player.movingUp = true; if (c == KeyEvent.VK_S) player.movingDown = true; if (c == KeyEvent.VK_A) player.movingLeft = true; if (c == KeyEvent.VK_D) player.movingRight = true; if (c == KeyEvent.VK_R) reloadRequested.set(true); if (c == KeyEvent.VK_F3) { dirtyRectMode = !dirtyRectMode; frameBufferValid = false; } }
+    @Override public void keyReleased(KeyEvent e) { if (world.getGameState() != GameWorld.GameState.PLAYING) return; Player player = world.getPlayer(); int c = e.getKeyCode(); if (c == KeyEvent.VK_W) player.movingUp = false; if (c == KeyEvent.VK_S) player.movingDown = false; if (c == KeyEvent.VK_A) player.movingLeft = false; if (c == KeyEvent.VK_D) player.movingRight = false; }
+    @Override public void mouseMoved(MouseEvent e) { if (world.getGameState() == GameWorld.GameState.PLAYING) world.getPlayer().updateGunAngle(e.getX(), e.getY()); }
+    @Override public void mouseDragged(MouseEvent e) { if (world.getGameState() == GameWorld.GameState.PLAYING) world.getPlayer().updateGunAngle(e.getX(), e.getY()); }
     @Override public void mouseClicked(MouseEvent e) {} @Override public void mouseReleased(MouseEvent e) {}
     @Override public void mouseEntered(MouseEvent e) {} @Override public void mouseExited(MouseEvent e) {}
     
@@ -0,0 +1,33 @@
+package src.game;
+
+// Session counters built from GameEventBus events, read by the HUD and the soak harness.
+public class GameStats implements GameEventBus.Listener {
+    private int kills, bossKills, chestsOpened, upgradesChosen;
+    private long damageDealt, damageTaken;
+
+    @Override
+    public void onEvent(int type, int entityId, int amount, float x, float y) {
+        switch (type) {
+            case GameEventBus.MONSTER_HIT: damageDealt += amount; break;
+            case GameEventBus.MONSTER_KILLED: kills++; break;
+            case GameEventBus.BOSS_KILLED: kills++; bossKills++; break;
+            case GameEventBus.PLAYER_HIT: damageTaken += amount; break;
+            case GameEventBus.CHEST_OPENED: chestsOpened++; break;
+            case GameEventBus.UPGRADE_CHOSEN: upgradesChosen++; break;
+            default: break;
+        }
+    }
+
+    public void reset() {
+        kills = 0; bossKills = 0; chestsOpened = 0; upgradesChosen = 0;
+        damageDealt = 0; damageTaken = 0;
+    }
+
+    // --- Getters ---
+    public int getKills() { return kills; }
+    public int getBossKills() { return bossKills; }
+    public int getChestsOpened() { return chestsOpened; }
+    public int getUpgradesChosen() { return upgradesChosen; }
+    public long getDamageDealt() { return damageDealt; }
+    public long getDamageTaken() { return damageTaken; }
+}
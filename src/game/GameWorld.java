@@ -0,0 +1,279 @@
+package src.game;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+// Game simulation without any Swing dependency, so it can be driven by GamePanel or headless by SoakHarness.
+public class GameWorld {
+
+    public static final int WIDTH = 950;
+    public static final int HEIGHT = 750;
+    public static final int FPS = 60;
+    public enum GameState { START_MENU, PLAYING, GAME_OVER, WAVE_COMPLETED, CHEST_OPEN }
+    private GameState gameState = GameState.START_MENU;
+    private final LongSupplier clock;
+    private final Random rand;
+    private final Rectangle arenaBounds = new Rectangle(0, 0, WIDTH, HEIGHT);
+    private Player player;
+    private final List<Bullet> bullets = new ArrayList<>();
+    private final List<Monster> monsters = new ArrayList<>();
+    private int wave = 1;
+    private long waveStartTime;
+    private final long bossSpawnInterval = 45000;
+    private boolean bossSpawnedThisWave = false;
+    private long lastSpawnTime;
+    private final long spawnCooldown = 2000;
+    private double spawnRateMultiplier = 1.0;
+    private boolean endlessMode = false;
+    private final WaveScheduler scheduler;
+
+    private Chest droppedChest = null;
+    private boolean chestDroppedThisWave = false;
+    private final GameEventBus events = new GameEventBus(4096);
+    private final GameStats stats = new GameStats();
+    private final SpatialGrid<Monster> monsterGrid = new SpatialGrid<>(WIDTH, HEIGHT, 64);
+    private final List<Monster> candidates = new ArrayList<>();
+    private double bulletSpeed = Bullet.DEFAULT_SPEED;
+
+    public GameWorld() { this(System::currentTimeMillis, new Random()); }
+
+    public GameWorld(LongSupplier clock, Random rand) {
+        this.clock = clock;
+        this.rand = rand;
+        this.scheduler = new WaveScheduler(rand, 1000.0 / FPS);
+        player = new Player(WIDTH / 2, HEIGHT / 2, clock);
+        events.subscribe(stats);
+    }
+
+    // Runs one tick, then hands the events it produced to the observers in one batch.
+    public void update() {
+        if (gameState != GameState.PLAYING) return;
+        long tickStart = System.nanoTime();
+        simulate();
+        events.dispatch();
+        scheduler.recordTickTime(System.nanoTime() - tickStart);
+    }
+
+    private void simulate() {
+        player.update();
+        if (player.getHealth() <= 0) { gameState = GameState.GAME_OVER; player.resetMovementFlags(); return; }
+
+        if (droppedChest != null && player.getBounds().intersects(droppedChest.getBounds())) {
+            events.publish(GameEventBus.CHEST_OPENED, player.getId(), 0, droppedChest.getBounds().x, droppedChest.getBounds().y);
+            gameState = GameState.CHEST_OPEN;
+            player.resetMovementFlags();
+            droppedChest = null;
+            return;
+        }
+
+        long now = clock.getAsLong();
+        long timeInWave = now - waveStartTime;
+        if (timeInWave > bossSpawnInterval && !bossSpawnedThisWave) { spawnBoss(); }
+        if (endlessMode) { scheduler.update(now, spawnRateMultiplier, player, monsters); }
+        else if (now - lastSpawnTime > spawnCooldown / spawnRateMultiplier) { spawnMonster(); lastSpawnTime = now; }
+
+        for (Bullet b : bullets) b.update();
+        for (Monster m : monsters) m.update();
+        checkCollisions();
+        bullets.removeIf(b -> !arenaBounds.contains(b.getBounds()));
+    }
+
+    //moster 1 & 2
+    private void spawnMonster() {
+        if (wave >= 3 && rand.nextInt(100) < 10) { spawnMysterious(); return; }
+        double healthMultiplier = Math.pow(1.15, wave - 1);
+        int m1Health = (int)(20 * healthMultiplier), m2Health = (int)(10 * healthMultiplier);
+        int spawnSide = rand.nextInt(4); double x = 0, y = 0;
+        switch (spawnSide) { case 0: x = rand.nextInt(WIDTH); y = -64; break; case 1: x = WIDTH; y = rand.nextInt(HEIGHT); break; case 2: x = rand.nextInt(WIDTH); y = HEIGHT; break; case 3: x = -64; y = rand.nextInt(HEIGHT); break; }
+        if (rand.nextBoolean()) { monsters.add(new Monster(x, y, m1Health, 3.0, "/res/images/Monster1.png", false, false, player)); }
+        else { monsters.add(new Monster(x, y, m2Health, 6.0, "/res/images/Monster2.png", false, false, player)); }
+    }
+    //Mysterious
+    private void spawnMysterious() {
+        int health = 20, spawnSide = rand.nextInt(4); double speed = 8.0, x = 0, y = 0;
+        switch (spawnSide) { case 0: x = rand.nextInt(WIDTH); y = -64; break; case 1: x = WIDTH; y = rand.nextInt(HEIGHT); break; case 2: x = rand.nextInt(WIDTH); y = HEIGHT; break; case 3: x = -64; y = rand.nextInt(HEIGHT); break; }
+        monsters.add(new Monster(x, y, health, speed, "/res/images/Mysterious.png", false, true, player));
+    }
+    //The Boss
+    private void spawnBoss() {
+        int bossHealth = (int)(100 * Math.pow(1.15, wave - 1));
+        monsters.add(new Monster(WIDTH / 2.0, -100, bossHealth, 2.75, "/res/images/boss.png", true, false, player));
+        bossSpawnedThisWave = true;
+    }
+
+    // Applies hits, contact damage, chest drops and the end of the wave directly; the events published here only inform
+    // observers, since the bus drops events when it is full.
+    private void checkCollisions() {
+        monsterGrid.clear();
+        for (Monster monster : monsters) if (monster.getHealth() > 0) monsterGrid.insert(monster, monster.getBounds());
+        // Each bullet is swept along this tick's whole move and hits whichever live monster it reaches first, so fast
+        // bullets cannot skip over small monsters between ticks.
+        Iterator<Bullet> bulletIter = bullets.iterator();
+        while (bulletIter.hasNext()) {
+            Bullet bullet = bulletIter.next();
+            candidates.clear();
+            monsterGrid.query(bullet.getSweptBounds(), candidates);
+            Monster firstHit = null;
+            double firstHitTime = Double.MAX_VALUE;
+            for (Monster monster : candidates) {
+                if (monster.getHealth() <= 0) continue;
+                double t = bullet.sweep(monster.getBounds());
+                if (t >= 0 && t < firstHitTime) { firstHitTime = t; firstHit = monster; }
+            }
+            if (firstHit != null) {
+                firstHit.takeDamage(bullet.getDamage());
+                events.publish(GameEventBus.MONSTER_HIT, firstHit.getId(), bullet.getDamage(), firstHit.getX(), firstHit.getY());
+                bulletIter.remove();
+            }
+        }
+        // One compacting pass: removing through the iterator shifts the whole list per hit, which adds up in big crowds.
+        Rectangle playerBounds = player.getBounds();
+        monsters.removeIf(monster -> {
+            if (playerBounds.intersects(monster.getBounds())) {
+                int damage;
+                if (monster.isBoss()) { damage = player.getMaxHealth() * 2; }
+                else if (monster.isMysterious()) { damage = (int)(player.getMaxHealth() * 0.25); }
+                else { damage = 10; }
+                player.takeDamage(damage);
+                events.publish(GameEventBus.PLAYER_HIT, monster.getId(), damage, monster.getX(), monster.getY());
+                return true;
+            }
+            if (monster.getHealth() <= 0) {
+                dropChest(monster);
+                if (monster.isBoss()) {
+                    gameState = GameState.WAVE_COMPLETED;
+                    player.resetMovementFlags();
+                    events.publish(GameEventBus.BOSS_KILLED, monster.getId(), 0, monster.getX(), monster.getY());
+                }
+                else { events.publish(GameEventBus.MONSTER_KILLED, monster.getId(), monster.isMysterious() ? 1 : 0, monster.getX(), monster.getY()); }
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void dropChest(Monster killed) {
+        if (!chestDroppedThisWave) {
+            if (rand.nextInt(100) < 100) {
+                droppedChest = new Chest(killed.getX(), killed.getY());
+                chestDroppedThisWave = true;
+            }
+        }
+    }
+
+    // Fires the equipped weapon along the current gun angle, if the player is able to attack.
+    public void fire() {
+        if (gameState != GameState.PLAYING || !player.attack()) return;
+        double baseX = player.getX() + player.getWidth() / 2.0;
+        double baseY = player.getY() + player.getHeight() / 2.0;
+        double baseAngle = player.gunAngle;
+        int damage = player.getBulletDamage();
+
+        if (player.getCurrentWeapon() == Player.WeaponType.SHOTGUN) {
+            for (int i = 0; i < 8; i++) {
+                double spread = Math.toRadians((rand.nextDouble() - 0.5) * 20);
+                bullets.add(new Bullet(baseX, baseY, baseAngle + spread, damage, bulletSpeed));
+            }
+        } else {
+            bullets.add(new Bullet(baseX, baseY, baseAngle, damage, bulletSpeed));
+        }
+    }
+
+    // 0 = max HP, 1 = damage, 2 = mastery; also heals and starts the next wave.
+    public void applySkillCard(int card) {
+        if (gameState != GameState.WAVE_COMPLETED) return;
+        int healAmount = (int)(player.getMaxHealth() * 0.40);
+        switch (card) {
+            case 0:
+                player.increaseMaxHealth(10);
+                break;
+            case 1:
+                player.upgradeDamage();
+                break;
+            case 2:
+                player.upgradeMastery();
+                break;
+        }
+        player.heal(healAmount);
+        player.switchWeapon(player.getCurrentWeapon());
+        events.publish(GameEventBus.UPGRADE_CHOSEN, player.getId(), card, player.getX(), player.getY());
+        startNextWave();
+        events.dispatch();
+    }
+
+    public void chooseWeapon(Player.WeaponType weapon) {
+        if (gameState != GameState.CHEST_OPEN) return;
+        player.switchWeapon(weapon);
+        gameState = GameState.PLAYING;
+        scheduler.resume(clock.getAsLong());
+        events.publish(GameEventBus.WEAPON_CHOSEN, player.getId(), weapon.ordinal(), player.getX(), player.getY());
+        events.dispatch();
+    }
+
+    private void startNextWave() {
+        wave++;
+        waveStartTime = clock.getAsLong();
+        bossSpawnedThisWave = false;
+        bullets.clear();
+        monsters.clear();
+        chestDroppedThisWave = false;
+        scheduler.startWave(wave, waveStartTime);
+        gameState = GameState.PLAYING;
+        events.publish(GameEventBus.WAVE_STARTED, player.getId(), wave, player.getX(), player.getY());
+    }
+
+    public void resetGame() {
+        player = new Player(WIDTH / 2, HEIGHT / 2, clock);
+        monsters.clear();
+        bullets.clear();
+        wave = 1;
+        bossSpawnedThisWave = false;
+        chestDroppedThisWave = false;
+        gameState = GameState.PLAYING;
+        waveStartTime = clock.getAsLong();
+        lastSpawnTime = waveStartTime;
+        scheduler.startWave(wave, waveStartTime);
+        events.clear();
+        stats.reset();
+        events.publish(GameEventBus.WAVE_STARTED, player.getId(), wave, player.getX(), player.getY());
+        events.dispatch();
+    }
+
+    // Scales how often spawnMonster fires on top of spawnCooldown (or the scheduler's budget in endless mode); 2.0 spawns twice as often.
+    public void setSpawnRateMultiplier(double multiplier) {
+        if (multiplier <= 0) throw new IllegalArgumentException("Spawn rate multiplier must be positive: " + multiplier);
+        this.spawnRateMultiplier = multiplier;
+    }
+
+    // Pixels per tick for newly fired bullets. Collision is swept, so this can go well past the size of a monster.
+    public void setBulletSpeed(double speed) {
+        if (speed <= 0) throw new IllegalArgumentException("Bullet speed must be positive: " + speed);
+        this.bulletSpeed = speed;
+    }
+
+    // Endless mode swaps the one-every-spawnCooldown spawner for WaveScheduler's group spawns; takes effect immediately.
+    public void setEndlessMode(boolean endless) {
+        if (endless && !endlessMode) scheduler.startWave(wave, clock.getAsLong());
+        this.endlessMode = endless;
+    }
+
+    // --- Getters ---
+    public GameState getGameState() { return gameState; }
+    public Player getPlayer() { return player; }
+    public List<Bullet> getBullets() { return bullets; }
+    public List<Monster> getMonsters() { return monsters; }
+    public Chest getDroppedChest() { return droppedChest; }
+    public int getWave() { return wave; }
+    public boolean isBossSpawnedThisWave() { return bossSpawnedThisWave; }
+    public long getTimeToBoss() { return bossSpawnInterval - (clock.getAsLong() - waveStartTime); }
+    public double getSpawnRateMultiplier() { return spawnRateMultiplier; }
+    public boolean isEndlessMode() { return endlessMode; }
+    public double getBulletSpeed() { return bulletSpeed; }
+    public GameEventBus getEvents() { return events; }
+    public GameStats getStats() { return stats; }
+    public WaveScheduler getScheduler() { return scheduler; }
+}
@@ -5,6 +5,7 @@ import java.awt.Rectangle;
 import java.awt.Color;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.function.LongSupplier;
 import javax.imageio.ImageIO;
 
 public class Player extends Entity {
@@ -37,9 +38,13 @@ public class Player extends Entity {
     private long reloadStartTime;
 
     private final int char_scale = 3;
+    private final LongSupplier clock; // time source for cooldowns and reloads
 
-    public Player(int startX, int startY) {
+    public Player(int startX, int startY) { this(startX, startY, System::currentTimeMillis); }
+
+    public Player(int startX, int startY, LongSupplier clock) {
         super(startX, startY, 100, 100, 5.0); //health, maxHealth, speed
+        this.clock = clock;
         this.scale = char_scale; 
         loadImages(); // Load character and weapon images
         switchWeapon(WeaponType.PISTOL);
@@ -63,7 +68,7 @@ public class Player extends Entity {
         if (movingRight) x += speed;
 
         if (isReloading) {
-            if (System.currentTimeMillis() - reloadStartTime >= reloadTime) {
+            if (clock.getAsLong() - reloadStartTime >= reloadTime) {
                 isReloading = false;
                 currentAmmo = maxAmmo;
             }
@@ -98,15 +103,15 @@ public class Player extends Entity {
     }
 
     public boolean attack() {
-        if (isReloading || (System.currentTimeMillis() - lastAttackTime < attackCooldown) || currentAmmo <= 0) return false;
-        lastAttackTime = System.currentTimeMillis();
+        if (isReloading || (clock.getAsLong() - lastAttackTime < attackCooldown) || currentAmmo <= 0) return false;
+        lastAttackTime = clock.getAsLong();
         currentAmmo--;
         if (currentAmmo <= 0) startReload();
         return true;
     }
 
     public void startReload() {
-        if (!isReloading && currentAmmo < maxAmmo) { isReloading = true; reloadStartTime = System.currentTimeMillis(); }
+        if (!isReloading && currentAmmo < maxAmmo) { isReloading = true; reloadStartTime = clock.getAsLong(); }
     }
     
     public void updateGunAngle(int mouseX, int mouseY) {
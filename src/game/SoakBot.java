@@ -0,0 +1,81 @@
+package src.game;
+
+import java.util.Random;
+
+// Simple AI that plays a GameWorld in place of keyboard and mouse input.
+public class SoakBot {
+    private static final double KITE_RADIUS = 220; // back away from anything closer than this
+    private static final double EDGE_MARGIN = 40;  // keeps the bot from walking out of the arena
+    private static final double WALL_RADIUS = 150; // start circling when this close to a wall
+    private static final double DEAD_ZONE = 8;
+    private final Random rand;
+
+    public SoakBot(Random rand) {
+        this.rand = rand;
+    }
+
+    // Reads the world and sets the player's inputs for the next tick.
+    public void act(GameWorld world) {
+        switch (world.getGameState()) {
+            case PLAYING: play(world); break;
+            case WAVE_COMPLETED: world.applySkillCard(rand.nextInt(3)); break;
+            case CHEST_OPEN: world.chooseWeapon(Player.WeaponType.values()[rand.nextInt(Player.WeaponType.values().length)]); break;
+            default: break;
+        }
+    }
+
+    private void play(GameWorld world) {
+        Player player = world.getPlayer();
+        double px = player.getX() + player.getWidth() / 2.0, py = player.getY() + player.getHeight() / 2.0;
+
+        // Sum a repulsion from every monster inside its kite radius; the boss kills on contact so it counts for more.
+        Monster nearest = null, boss = null;
+        double nearestDistSq = Double.MAX_VALUE, fleeX = 0, fleeY = 0;
+        for (Monster m : world.getMonsters()) {
+            double dx = m.getX() + m.getWidth() / 2.0 - px, dy = m.getY() + m.getHeight() / 2.0 - py;
+            double distSq = dx * dx + dy * dy;
+            if (distSq < nearestDistSq) { nearestDistSq = distSq; nearest = m; }
+            if (m.isBoss()) boss = m;
+            double radius = m.isBoss() ? KITE_RADIUS * 1.6 : KITE_RADIUS;
+            if (distSq < radius * radius && distSq > 0) {
+                double weight = (m.isBoss() ? 4.0 : 1.0) / distSq;
+                fleeX -= dx * weight;
+                fleeY -= dy * weight;
+            }
+        }
+
+        // Kite if anything is close, otherwise go for the chest, otherwise drift back to the centre.
+        double goalX, goalY;
+        if (fleeX != 0 || fleeY != 0) {
+            double len = Math.sqrt(fleeX * fleeX + fleeY * fleeY);
+            double dirX = fleeX / len, dirY = fleeY / len;
+            // Near a wall, circle around the threat towards the centre instead of pinning the bot in a corner.
+            if (px < WALL_RADIUS || py < WALL_RADIUS || px > GameWorld.WIDTH - WALL_RADIUS || py > GameWorld.HEIGHT - WALL_RADIUS) {
+                double tanX = -dirY, tanY = dirX;
+                if (tanX * (GameWorld.WIDTH / 2.0 - px) + tanY * (GameWorld.HEIGHT / 2.0 - py) < 0) { tanX = -tanX; tanY = -tanY; }
+                dirX = dirX * 0.3 + tanX;
+                dirY = dirY * 0.3 + tanY;
+            }
+            goalX = px + dirX * 100;
+            goalY = py + dirY * 100;
+        } else if (world.getDroppedChest() != null) {
+            goalX = world.getDroppedChest().getBounds().getCenterX();
+            goalY = world.getDroppedChest().getBounds().getCenterY();
+        } else {
+            goalX = GameWorld.WIDTH / 2.0;
+            goalY = GameWorld.HEIGHT / 2.0;
+        }
+        player.movingLeft = goalX < px - DEAD_ZONE && player.getX() > EDGE_MARGIN;
+        player.movingRight = goalX > px + DEAD_ZONE && player.getX() + player.getWidth() < GameWorld.WIDTH - EDGE_MARGIN;
+        player.movingUp = goalY < py - DEAD_ZONE && player.getY() > EDGE_MARGIN;
+        player.movingDown = goalY > py + DEAD_ZONE && player.getY() + player.getHeight() < GameWorld.HEIGHT - EDGE_MARGIN;
+
+        // Aim at the nearest monster, except that the boss is the wave objective once it is on screen.
+        Monster target = boss != null && boss.getY() > 0 ? boss : nearest;
+        if (target != null) {
+            player.updateGunAngle(target.getX() + target.getWidth() / 2, target.getY() + target.getHeight() / 2);
+            world.fire();
+        }
+        if (player.getCurrentAmmo() == 0 || (nearest == null && player.getCurrentAmmo() < player.getMaxAmmo())) player.startReload();
+    }
+}
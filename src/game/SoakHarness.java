@@ -0,0 +1,241 @@
+package src.game;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongSupplier;
+
+// Headless soak/load test: runs many bot-driven games in parallel on a simulated clock and reports per-wave tick costs.
+// Usage: java -cp . src.game.SoakHarness games=8 threads=4 waves=5 spawnRate=4 maxTicks=200000 seed=1 immortal=true mode=endless bulletSpeed=20
+public class SoakHarness {
+
+    private static final long TICK_MILLIS = 1000 / GameWorld.FPS;
+    // Per-thread allocation counter. Each game runs on one pool thread, so this is exact per game, unlike heap usage,
+    // which is shared by every game and moves with GC timing.
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    // Advances only when the harness says so, so a 45 s wave takes as long as the CPU needs and no longer.
+    private static class ManualClock implements LongSupplier {
+        private long now;
+        @Override public long getAsLong() { return now; }
+    }
+
+    private static class WaveStats {
+        private long ticks;
+        private long totalNanos;
+        private long[] tickNanos = new long[4096];
+        private int peakMonsters, peakBullets;
+        private long allocatedBytes; // allocated by world.update() on the game's thread
+        private long retainedBytes = -1; // used heap after a GC at the end of the wave, -1 if not sampled
+        private double throttleSum;
+        private int kills;
+
+        private void record(long nanos, long allocated, int monsters, int bullets, double throttle) {
+            throttleSum += throttle;
+            allocatedBytes += allocated;
+            if (ticks == tickNanos.length) tickNanos = Arrays.copyOf(tickNanos, tickNanos.length * 2);
+            tickNanos[(int)ticks++] = nanos;
+            totalNanos += nanos;
+            if (monsters > peakMonsters) peakMonsters = monsters;
+            if (bullets > peakBullets) peakBullets = bullets;
+        }
+
+        private void merge(WaveStats other) {
+            long[] merged = Arrays.copyOf(tickNanos, (int)(ticks + other.ticks));
+            System.arraycopy(other.tickNanos, 0, merged, (int)ticks, (int)other.ticks);
+            tickNanos = merged;
+            ticks += other.ticks;
+            totalNanos += other.totalNanos;
+            peakMonsters = Math.max(peakMonsters, other.peakMonsters);
+            peakBullets = Math.max(peakBullets, other.peakBullets);
+            allocatedBytes += other.allocatedBytes;
+            retainedBytes = Math.max(retainedBytes, other.retainedBytes);
+            throttleSum += other.throttleSum;
+            kills += other.kills;
+        }
+
+        private long percentileNanos(double p) {
+            if (ticks == 0) return 0;
+            long[] sorted = Arrays.copyOf(tickNanos, (int)ticks);
+            Arrays.sort(sorted);
+            return sorted[(int)Math.min(ticks - 1, Math.ceil(p * ticks) - 1)];
+        }
+    }
+
+    private static class GameResult {
+        private final TreeMap<Integer, WaveStats> waves = new TreeMap<>();
+        private boolean died;
+        private int waveReached;
+        private int restarts;
+        private long eventsPublished, eventsDropped;
+        private int eventHighWaterMark;
+    }
+
+    // sampleHeap forces a GC at every wave end to read retained heap; only meaningful when no other game is running.
+    private static GameResult runGame(long seed, int maxWaves, long maxTicks, double spawnRate, double bulletSpeed, boolean immortal, boolean endless, boolean sampleHeap) {
+        ManualClock clock = new ManualClock();
+        Random rand = new Random(seed);
+        GameWorld world = new GameWorld(clock, rand);
+        world.setSpawnRateMultiplier(spawnRate);
+        world.setEndlessMode(endless);
+        world.setBulletSpeed(bulletSpeed);
+        SoakBot bot = new SoakBot(new Random(seed ^ 0x5DEECE66DL));
+        GameResult result = new GameResult();
+
+        world.resetGame();
+        int currentWave = world.getWave();
+        WaveStats stats = new WaveStats();
+        int killsAtWaveStart = 0;
+        for (long tick = 0; tick < maxTicks; tick++) {
+            bot.act(world);
+            if (world.getWave() != currentWave) {
+                stats.kills = world.getStats().getKills() - killsAtWaveStart;
+                closeWave(result, currentWave, stats, sampleHeap);
+                if (world.getWave() > maxWaves) return finish(result, world);
+                currentWave = world.getWave();
+                stats = new WaveStats();
+                killsAtWaveStart = world.getStats().getKills();
+            }
+            long threadId = Thread.currentThread().getId();
+            long allocStart = THREADS.getThreadAllocatedBytes(threadId);
+            long start = System.nanoTime();
+            world.update();
+            long elapsed = System.nanoTime() - start;
+            long allocated = THREADS.getThreadAllocatedBytes(threadId) - allocStart;
+            stats.record(elapsed, allocated, world.getMonsters().size(), world.getBullets().size(), world.getScheduler().getThrottle());
+
+            if (immortal) world.getPlayer().heal(world.getPlayer().getMaxHealth());
+            if (world.getGameState() == GameWorld.GameState.GAME_OVER) { result.died = true; break; }
+            // Touching the boss removes it without a kill, which would kill a real player; with immortal=true the wave
+            // could never finish, so start the session over instead of stalling.
+            if (immortal && bossLost(world)) {
+                stats.kills = world.getStats().getKills() - killsAtWaveStart;
+                closeWave(result, currentWave, stats, sampleHeap);
+                result.restarts++;
+                recordEvents(result, world);
+                world.resetGame();
+                currentWave = world.getWave();
+                stats = new WaveStats();
+                killsAtWaveStart = 0;
+            }
+            clock.now += TICK_MILLIS;
+        }
+        stats.kills = world.getStats().getKills() - killsAtWaveStart;
+        closeWave(result, currentWave, stats, sampleHeap);
+        return finish(result, world);
+    }
+
+    private static GameResult finish(GameResult result, GameWorld world) {
+        recordEvents(result, world);
+        return result;
+    }
+
+    // The bus counters are cumulative for the world, so only the high-water mark needs care across restarts.
+    private static void recordEvents(GameResult result, GameWorld world) {
+        GameEventBus events = world.getEvents();
+        result.eventsPublished = events.getPublished();
+        result.eventsDropped = events.getDropped();
+        result.eventHighWaterMark = Math.max(result.eventHighWaterMark, events.getHighWaterMark());
+    }
+
+    private static void closeWave(GameResult result, int wave, WaveStats stats, boolean sampleHeap) {
+        if (sampleHeap) stats.retainedBytes = retainedHeap();
+        result.waves.merge(wave, stats, (a, b) -> { a.merge(b); return a; });
+        result.waveReached = Math.max(result.waveReached, wave);
+    }
+
+    // Process-wide used heap after a full collection, i.e. what is still reachable.
+    private static long retainedHeap() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        memory.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static boolean bossLost(GameWorld world) {
+        if (world.getGameState() != GameWorld.GameState.PLAYING || !world.isBossSpawnedThisWave()) return false;
+        for (Monster m : world.getMonsters()) if (m.isBoss()) return false;
+        return true;
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        if (!THREADS.isThreadAllocatedMemorySupported()) throw new IllegalStateException("JVM does not support per-thread allocation counting");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        int games = 4, threads = Runtime.getRuntime().availableProcessors(), waves = 3;
+        long maxTicks = 100_000, seed = System.nanoTime();
+        double spawnRate = 1.0, bulletSpeed = Bullet.DEFAULT_SPEED;
+        boolean immortal = true, endless = false;
+        for (String arg : args) {
+            String[] kv = arg.split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            switch (kv[0]) {
+                case "games": games = Integer.parseInt(kv[1]); break;
+                case "threads": threads = Integer.parseInt(kv[1]); break;
+                case "waves": waves = Integer.parseInt(kv[1]); break;
+                case "maxTicks": maxTicks = Long.parseLong(kv[1]); break;
+                case "seed": seed = Long.parseLong(kv[1]); break;
+                case "spawnRate": spawnRate = Double.parseDouble(kv[1]); break;
+                case "bulletSpeed": bulletSpeed = Double.parseDouble(kv[1]); break;
+                case "immortal": immortal = Boolean.parseBoolean(kv[1]); break;
+                case "mode": endless = kv[1].equals("endless"); if (!endless && !kv[1].equals("classic")) throw new IllegalArgumentException("Unknown mode: " + kv[1]); break;
+                default: throw new IllegalArgumentException("Unknown option: " + kv[0]);
+            }
+        }
+
+        System.out.printf("Soak: games=%d threads=%d waves=%d maxTicks=%d spawnRate=%.2f bulletSpeed=%.1f immortal=%b mode=%s seed=%d%n",
+                games, threads, waves, maxTicks, spawnRate, bulletSpeed, immortal, endless ? "endless" : "classic", seed);
+        long heapAtStart = retainedHeap();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<GameResult>> futures = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            final long gameSeed = seed + i;
+            final int w = waves; final long t = maxTicks; final double s = spawnRate, bs = bulletSpeed; final boolean im = immortal, en = endless, sh = threads == 1;
+            futures.add(pool.submit(() -> runGame(gameSeed, w, t, s, bs, im, en, sh)));
+        }
+
+        long wallStart = System.nanoTime();
+        TreeMap<Integer, WaveStats> totals = new TreeMap<>();
+        int deaths = 0, restarts = 0, eventHighWaterMark = 0;
+        long eventsPublished = 0, eventsDropped = 0;
+        for (int i = 0; i < futures.size(); i++) {
+            GameResult result = futures.get(i).get();
+            if (result.died) deaths++;
+            restarts += result.restarts;
+            eventsPublished += result.eventsPublished;
+            eventsDropped += result.eventsDropped;
+            eventHighWaterMark = Math.max(eventHighWaterMark, result.eventHighWaterMark);
+            System.out.printf("  game %d: reached wave %d, restarts %d%s%n", i, result.waveReached, result.restarts, result.died ? " (died)" : "");
+            result.waves.forEach((wave, stats) -> totals.merge(wave, stats, (a, b) -> { a.merge(b); return a; }));
+        }
+        pool.shutdown();
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+        long heapAtEnd = retainedHeap();
+
+        // alloc is what world.update() allocated, counted per game thread and summed over every game that reached the wave.
+        // retained is used heap after a GC at the end of the wave, the largest over all games; it needs threads=1, since
+        // the heap is shared by every game running at the time.
+        // throttle is the average share of the scheduler's spawn budget let through (endless mode only).
+        System.out.printf("%-6s %10s %12s %10s %10s %12s %12s %12s %12s %9s %8s%n",
+                "wave", "ticks", "ticks/sec", "mean(us)", "p99(us)", "peakMonsters", "peakBullets", "alloc(MB)", "retained(MB)", "throttle", "kills");
+        for (Map.Entry<Integer, WaveStats> e : totals.entrySet()) {
+            WaveStats s = e.getValue();
+            double ticksPerSec = s.totalNanos > 0 ? s.ticks / (s.totalNanos / 1e9) : 0;
+            System.out.printf("%-6d %10d %12.0f %10.1f %10.1f %12d %12d %12.2f %12s %9.2f %8d%n",
+                    e.getKey(), s.ticks, ticksPerSec, s.ticks > 0 ? s.totalNanos / 1e3 / s.ticks : 0,
+                    s.percentileNanos(0.99) / 1e3, s.peakMonsters, s.peakBullets, s.allocatedBytes / (1024.0 * 1024.0),
+                    s.retainedBytes < 0 ? "-" : String.format("%.2f", s.retainedBytes / (1024.0 * 1024.0)),
+                    s.ticks > 0 ? s.throttleSum / s.ticks : 1.0, s.kills);
+        }
+        System.out.printf("events published=%d dropped=%d peakQueued=%d%n", eventsPublished, eventsDropped, eventHighWaterMark);
+        System.out.printf("heap after GC, whole process: start=%.2fMB end=%.2fMB%n", heapAtStart / (1024.0 * 1024.0), heapAtEnd / (1024.0 * 1024.0));
+        System.out.printf("deaths=%d restarts=%d wall=%.1fs%n", deaths, restarts, wallSeconds);
+    }
+}
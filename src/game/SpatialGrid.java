@@ -0,0 +1,68 @@
+package src.game;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Uniform grid broadphase over the arena. Items are inserted into every cell their bounds overlap; anything outside
+// the arena is clamped into the border cells, so off-screen spawns are still found by queries that reach the edge.
+// Cells hold indices into items, and each item remembers the last query that returned it, so a query reports every
+// item once however many of its cells it spans.
+public class SpatialGrid<T> {
+    private final int cellSize;
+    private final int cols, rows;
+    private final int[][] cells;
+    private final int[] cellCounts;
+    private final List<T> items = new ArrayList<>();
+    private int[] seenByQuery = new int[64];
+    private int queryStamp;
+
+    public SpatialGrid(int width, int height, int cellSize) {
+        this.cellSize = cellSize;
+        this.cols = (width + cellSize - 1) / cellSize;
+        this.rows = (height + cellSize - 1) / cellSize;
+        this.cells = new int[cols * rows][8];
+        this.cellCounts = new int[cols * rows];
+    }
+
+    public void clear() {
+        items.clear();
+        Arrays.fill(cellCounts, 0);
+    }
+
+    public void insert(T item, Rectangle bounds) {
+        int index = items.size();
+        items.add(item);
+        if (index == seenByQuery.length) seenByQuery = Arrays.copyOf(seenByQuery, index * 2);
+        int c0 = col(bounds.x), c1 = col(bounds.x + bounds.width), r0 = row(bounds.y), r1 = row(bounds.y + bounds.height);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                if (cellCounts[cell] == cells[cell].length) cells[cell] = Arrays.copyOf(cells[cell], cellCounts[cell] * 2);
+                cells[cell][cellCounts[cell]++] = index;
+            }
+        }
+    }
+
+    // Adds every item in a cell overlapping area to out, once each, in the order they are first found.
+    public void query(Rectangle area, List<T> out) {
+        if (++queryStamp == Integer.MAX_VALUE) { Arrays.fill(seenByQuery, 0); queryStamp = 1; }
+        int c0 = col(area.x), c1 = col(area.x + area.width), r0 = row(area.y), r1 = row(area.y + area.height);
+        for (int r = r0; r <= r1; r++) {
+            for (int c = c0; c <= c1; c++) {
+                int cell = r * cols + c;
+                int[] indices = cells[cell];
+                for (int i = 0; i < cellCounts[cell]; i++) {
+                    int index = indices[i];
+                    if (seenByQuery[index] == queryStamp) continue;
+                    seenByQuery[index] = queryStamp;
+                    out.add(items.get(index));
+                }
+            }
+        }
+    }
+
+    private int col(int x) { return Math.max(0, Math.min(cols - 1, Math.floorDiv(x, cellSize))); }
+    private int row(int y) { return Math.max(0, Math.min(rows - 1, Math.floorDiv(y, cellSize))); }
+}
@@ -0,0 +1,152 @@
+package src.game;
+
+import java.util.List;
+import java.util.Random;
+
+// Spawns monsters for endless mode in groups paid for from a per-wave budget, and holds spawns back when ticks get slow.
+public class WaveScheduler {
+
+    public enum Archetype {
+        GRUNT("/res/images/Monster1.png", 20, 3.0, 1, false),
+        RUNNER("/res/images/Monster2.png", 10, 6.0, 1, false),
+        MYSTERIOUS("/res/images/Mysterious.png", 20, 8.0, 3, true);
+
+        private final String imagePath;
+        private final int baseHealth;
+        private final double speed;
+        private final int cost;
+        private final boolean mysterious;
+
+        Archetype(String imagePath, int baseHealth, double speed, int cost, boolean mysterious) {
+            this.imagePath = imagePath;
+            this.baseHealth = baseHealth;
+            this.speed = speed;
+            this.cost = cost;
+            this.mysterious = mysterious;
+        }
+
+        // Mysterious monsters keep a flat 20 HP, as in the classic spawner.
+        private Monster create(double x, double y, int wave, Player player) {
+            int health = mysterious ? baseHealth : (int)(baseHealth * Math.pow(1.15, wave - 1));
+            return new Monster(x, y, health, speed, imagePath, false, mysterious, player);
+        }
+    }
+
+    public enum Formation { LINE, CLUSTER, COLUMN, SURROUND }
+
+    // Budget curve: points per second for wave 1, grown by BUDGET_GROWTH every wave.
+    private static final double BASE_BUDGET_PER_SECOND = 4.0;
+    private static final double BUDGET_GROWTH = 1.3;
+    private static final long GROUP_INTERVAL = 1200;
+    private static final int MAX_BANKED_GROUPS = 3; // caps what one group can spend after a long gap between updates
+    private static final int SPAWN_DEPTH = 64;      // how far off-screen monsters appear, like y = -64 in spawnMonster
+
+    // Throttle: full rate below THROTTLE_START of the frame budget, no spawns at all above THROTTLE_FULL.
+    private static final double THROTTLE_START = 0.5;
+    private static final double THROTTLE_FULL = 0.8;
+    private static final double TICK_SMOOTHING = 0.1;
+
+    private final Random rand;
+    private final double frameBudgetMillis;
+    private int wave = 1;
+    private double budget;
+    private long lastUpdateTime;
+    private long lastGroupTime;
+    private double avgTickMillis;
+    private double throttle = 1.0;
+
+    public WaveScheduler(Random rand, double frameBudgetMillis) {
+        this.rand = rand;
+        this.frameBudgetMillis = frameBudgetMillis;
+    }
+
+    public void startWave(int wave, long now) {
+        this.wave = wave;
+        budget = 0;
+        lastUpdateTime = now;
+        lastGroupTime = now;
+    }
+
+    // Call when play resumes after a pause in updates (the chest screen); the paused time earns no budget and does not
+    // count towards the next group.
+    public void resume(long now) {
+        lastGroupTime += now - lastUpdateTime;
+        lastUpdateTime = now;
+    }
+
+    // Feeds the measured cost of the last simulation tick into the throttle.
+    public void recordTickTime(long nanos) {
+        avgTickMillis += (nanos / 1_000_000.0 - avgTickMillis) * TICK_SMOOTHING;
+        double load = avgTickMillis / frameBudgetMillis;
+        throttle = Math.max(0, Math.min(1, (THROTTLE_FULL - load) / (THROTTLE_FULL - THROTTLE_START)));
+    }
+
+    public void update(long now, double rateMultiplier, Player player, List<Monster> monsters) {
+        double earned = budgetPerSecond() * rateMultiplier * (now - lastUpdateTime) / 1000.0;
+        lastUpdateTime = now;
+        double maxBank = budgetPerSecond() * rateMultiplier * GROUP_INTERVAL / 1000.0 * MAX_BANKED_GROUPS;
+        budget = Math.min(maxBank, budget + earned * throttle);
+
+        if (now - lastGroupTime < GROUP_INTERVAL || budget < Archetype.GRUNT.cost) return;
+        lastGroupTime = now;
+        spawnGroup(player, monsters);
+    }
+
+    private void spawnGroup(Player player, List<Monster> monsters) {
+        Formation formation = pickFormation();
+        int side = rand.nextInt(4);
+        int size = 0;
+        Archetype[] group = new Archetype[(int)budget];
+        while (size < group.length) {
+            Archetype type = pickArchetype();
+            if (type.cost > budget) { if (budget < Archetype.GRUNT.cost) break; type = Archetype.GRUNT; }
+            budget -= type.cost;
+            group[size++] = type;
+        }
+
+        // Anchor along the chosen side, then lay members out relative to it; "along" runs parallel to the side and
+        // "depth" points away from the arena so later members stream in behind earlier ones.
+        int sideLength = (side == 0 || side == 2) ? GameWorld.WIDTH : GameWorld.HEIGHT;
+        double anchor = sideLength * (0.2 + rand.nextDouble() * 0.6);
+        for (int i = 0; i < size; i++) {
+            double along, depth;
+            int memberSide = side;
+            switch (formation) {
+                case LINE: along = sideLength * (i + 0.5) / size; depth = rand.nextInt(16); break;
+                case COLUMN: along = anchor + rand.nextGaussian() * 12; depth = i * 40; break;
+                case SURROUND: memberSide = i % 4; along = ((memberSide == 0 || memberSide == 2) ? GameWorld.WIDTH : GameWorld.HEIGHT) * rand.nextDouble(); depth = rand.nextInt(32); break;
+                default: along = anchor + rand.nextGaussian() * 40; depth = Math.abs(rand.nextGaussian()) * 40; break;
+            }
+            double x = 0, y = 0;
+            switch (memberSide) {
+                case 0: x = along; y = -SPAWN_DEPTH - depth; break;
+                case 1: x = GameWorld.WIDTH + depth; y = along; break;
+                case 2: x = along; y = GameWorld.HEIGHT + depth; break;
+                case 3: x = -SPAWN_DEPTH - depth; y = along; break;
+            }
+            monsters.add(group[i].create(x, y, wave, player));
+        }
+    }
+
+    // Mysterious monsters join from wave 3 as in spawnMonster; runners and mysterious ones take a larger share each wave.
+    private Archetype pickArchetype() {
+        int roll = rand.nextInt(100);
+        int mysteriousShare = wave >= 3 ? Math.min(25, 5 + wave * 2) : 0;
+        int runnerShare = Math.min(50, 25 + wave * 3);
+        if (roll < mysteriousShare) return Archetype.MYSTERIOUS;
+        if (roll < mysteriousShare + runnerShare) return Archetype.RUNNER;
+        return Archetype.GRUNT;
+    }
+
+    private Formation pickFormation() {
+        Formation[] unlocked = Formation.values();
+        int count = wave >= 4 ? unlocked.length : unlocked.length - 1; // SURROUND only from wave 4
+        return unlocked[rand.nextInt(count)];
+    }
+
+    public double budgetPerSecond() { return BASE_BUDGET_PER_SECOND * Math.pow(BUDGET_GROWTH, wave - 1); }
+
+    // --- Getters ---
+    public double getThrottle() { return throttle; }
+    public double getAverageTickMillis() { return avgTickMillis; }
+}